@@ -0,0 +1,52 @@
+package com.example.acid;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Prints transfers to the console on a background thread, keeping I/O off the transfer path
+public class AsyncConsoleAuditListener implements AuditListener, AutoCloseable {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "audit-console");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public void onTransfer(TransferAudit audit) {
+        executor.execute(() -> print(audit));
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void print(TransferAudit audit) {
+        String prefix = audit.threadName() == null ? "" : "[" + audit.threadName() + "] ";
+
+        System.out.println(prefix + "Before transaction:");
+        showBalances(audit.balancesBefore());
+
+        System.out.printf("%sTransfer $%.0f from %s to %s%n", prefix, audit.amount(), audit.from(), audit.to());
+        System.out.println(prefix + ">>> Starting transaction");
+
+        if (audit.committed()) {
+            System.out.println(prefix + ">>> Transaction committed");
+        } else {
+            System.out.printf("%s>>> Transaction failed. Rolled back. Reason: %s%n", prefix, audit.failureReason());
+        }
+
+        System.out.println(prefix + (audit.threadName() == null ? "After transaction:" : ">>> After transaction:"));
+        showBalances(audit.balancesAfter());
+        System.out.println();
+    }
+
+    private void showBalances(Map<String, BigDecimal> balances) {
+        balances.forEach((account, balance) -> System.out.printf("%s: $%.0f%n", account, balance));
+    }
+}
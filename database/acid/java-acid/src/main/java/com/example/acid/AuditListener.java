@@ -0,0 +1,6 @@
+package com.example.acid;
+
+public interface AuditListener {
+
+    void onTransfer(TransferAudit audit);
+}
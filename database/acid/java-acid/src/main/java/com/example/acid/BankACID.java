@@ -1,30 +1,38 @@
 package com.example.acid;
 
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.math.BigDecimal;
 
 public class BankACID {
-    public static void main(String[] args) throws InterruptedException {
+    public static void main(String[] args) throws Exception {
         BankDB db = new BankDB();
-        BankTransaction transaction = new BankTransaction(db);
+        TransferMetrics metrics = new TransferMetrics();
+        ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(TransferMetrics.OBJECT_NAME));
 
-        transaction.transfer("Alice", "Bob", BigDecimal.valueOf(100));
+        try (AsyncConsoleAuditListener auditListener = new AsyncConsoleAuditListener()) {
+            BankTransaction transaction = new BankTransaction(db, metrics, auditListener);
 
-        /* -------------- */
+            transaction.transfer("Alice", "Bob", BigDecimal.valueOf(100));
 
-        System.out.println();
-        transaction.transfer("Alice", "Bob", BigDecimal.valueOf(600)); // Insufficient funds
+            /* -------------- */
 
-        /* -------------- */
+            transaction.transfer("Alice", "Bob", BigDecimal.valueOf(600)); // Insufficient funds
 
-        System.out.println();
+            /* -------------- */
 
-        // Two concurrent transfers
-        Thread t1 = new Thread(() -> transaction.transfer("Thread-1", "Alice", "Bob", BigDecimal.valueOf(100)));
-        Thread t2 = new Thread(() -> transaction.transfer("Thread-2", "Bob", "Alice", BigDecimal.valueOf(200)));
+            // Two concurrent transfers
+            Thread t1 = new Thread(() -> transaction.transfer("Thread-1", "Alice", "Bob", BigDecimal.valueOf(100)));
+            Thread t2 = new Thread(() -> transaction.transfer("Thread-2", "Bob", "Alice", BigDecimal.valueOf(200)));
 
-        t1.start();
-        t2.start();
-        t1.join();
-        t2.join();
+            t1.start();
+            t2.start();
+            t1.join();
+            t2.join();
+        }
+
+        metrics.getPhaseLatencies().forEach((phase, latency) -> System.out.printf(
+                "%-14s count=%d p50=%.1fus p99=%.1fus max=%.1fus%n",
+                phase, latency.getCount(), latency.getP50Micros(), latency.getP99Micros(), latency.getMaxMicros()));
     }
-}
\ No newline at end of file
+}
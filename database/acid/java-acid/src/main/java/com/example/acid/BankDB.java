@@ -26,6 +26,10 @@ public class BankDB {
         accounts.forEach((account, balance) -> System.out.printf("%s: $%.0f%n", account, balance));
     }
 
+    public Map<String, BigDecimal> snapshot() {
+        return new HashMap<>(accounts);
+    }
+
     public Map<String, BigDecimal> getAccounts() {
         return accounts;
     }
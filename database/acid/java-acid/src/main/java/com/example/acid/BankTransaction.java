@@ -1,96 +1,86 @@
 package com.example.acid;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 public class BankTransaction {
 
     private final BankDB bankDB;
+    private final TransferMetrics metrics;
+    private final AuditListener auditListener;
 
     public BankTransaction(BankDB bankDB) {
+        this(bankDB, new TransferMetrics(), null);
+    }
+
+    // auditListener is optional; without one no balance snapshots are taken
+    public BankTransaction(BankDB bankDB, TransferMetrics metrics, AuditListener auditListener) {
         this.bankDB = bankDB;
+        this.metrics = metrics;
+        this.auditListener = auditListener;
     }
 
     public void transfer(String from, String to, BigDecimal amount) {
-        System.out.println("Before transaction:");
-        bankDB.showBalances();
-
-        System.out.printf("Transfer $%.0f from %s to %s%n", amount, from, to);
-        System.out.println(">>> Starting transaction");
-
-        // Backup current state (for atomicity/rollback)
-        BigDecimal balanceFrom = bankDB.getBalance(from);
-        BigDecimal balanceTo = bankDB.getBalance(to);
-
-        try {
-            // Step 1: Check for sufficient balance (Consistency)
-            if (balanceFrom.compareTo(amount) < 0) {
-                throw new RuntimeException("Insufficient funds in " + from + "'s account");
-            }
-
-            // Step 2: Deduct from sender (Atomicity step 1)
-            bankDB.updateBalance(from, balanceFrom.subtract(amount));
-
-            // Simulate a crash/failure (uncomment to test atomicity)
-            // if (true) throw new RuntimeException("Unexpected error after deducting!");
-
-            // Step 3: Add to receiver (Atomicity step 2)
-            bankDB.updateBalance(to, balanceTo.add(amount));
-
-            // Commit is done (Durability implied here)
-            System.out.println(">>> Transaction committed");
-
-        } catch (Exception e) {
-            // Rollback (Atomicity)
-            bankDB.updateBalance(from, balanceFrom);
-            bankDB.updateBalance(to, balanceTo);
-
-            System.out.printf(">>> Transaction failed. Rolled back. Reason: %s%n", e.getMessage());
-        }
-
-        System.out.println("After transaction:");
-        bankDB.showBalances();
+        execute(null, from, to, amount);
     }
 
     // Simulated transfer with Isolation
     public void transfer(String threadName, String from, String to, BigDecimal amount) {
         synchronized (bankDB.getAccounts()) {
-            System.out.printf("[%s] Before transaction:%n", threadName);
-            bankDB.showBalances();
+            execute(threadName, from, to, amount);
+        }
+    }
 
-            System.out.printf("[%s] Transfer $%.0f from %s to %s%n", threadName, amount, from, to);
-            System.out.printf("[%s] >>> Starting transaction%n", threadName);
+    private void execute(String threadName, String from, String to, BigDecimal amount) {
+        Map<String, BigDecimal> balancesBefore = auditListener == null ? null : bankDB.snapshot();
+        boolean committed = false;
+        String failureReason = null;
 
-            // Backup current state (for atomicity/rollback)
-            BigDecimal balanceFrom = bankDB.getBalance(from);
-            BigDecimal balanceTo = bankDB.getBalance(to);
+        // Backup current state (for atomicity/rollback)
+        BigDecimal balanceFrom;
+        BigDecimal balanceTo;
+        try (PhaseTimer ignored = metrics.start(TransferPhase.ACCOUNT_LOOKUP, from, to)) {
+            balanceFrom = bankDB.getBalance(from);
+            balanceTo = bankDB.getBalance(to);
+        }
 
-            try {
-                // Step 1: Check for sufficient balance (Consistency)
+        try {
+            // Step 1: Check for sufficient balance (Consistency)
+            try (PhaseTimer ignored = metrics.start(TransferPhase.FUNDS_CHECK, from, to)) {
                 if (balanceFrom.compareTo(amount) < 0) {
                     throw new RuntimeException("Insufficient funds in " + from + "'s account");
                 }
+            }
 
-                // Step 2: Deduct from sender (Atomicity step 1)
+            // Step 2: Deduct from sender (Atomicity step 1)
+            try (PhaseTimer ignored = metrics.start(TransferPhase.DEBIT, from, to)) {
                 bankDB.updateBalance(from, balanceFrom.subtract(amount));
+            }
 
-                // Simulate a crash/failure (uncomment to test atomicity)
-                // if (true) throw new RuntimeException("Unexpected error after deducting!");
+            // Simulate a crash/failure (uncomment to test atomicity)
+            // if (true) throw new RuntimeException("Unexpected error after deducting!");
 
-                // Step 3: Add to receiver (Atomicity step 2)
+            // Step 3: Add to receiver (Atomicity step 2)
+            try (PhaseTimer ignored = metrics.start(TransferPhase.CREDIT, from, to)) {
                 bankDB.updateBalance(to, balanceTo.add(amount));
+            }
 
-                // Commit is done (Durability implied here)
-                System.out.printf("[%s] >>> Transaction committed%n", threadName);
-            } catch (Exception e) {
-                // Rollback (Atomicity)
+            // Commit is done (Durability implied here); the in-memory store has nothing to flush
+            try (PhaseTimer ignored = metrics.start(TransferPhase.COMMIT, from, to)) {
+                committed = true;
+            }
+        } catch (Exception e) {
+            // Rollback (Atomicity)
+            try (PhaseTimer ignored = metrics.start(TransferPhase.ROLLBACK, from, to)) {
                 bankDB.updateBalance(from, balanceFrom);
                 bankDB.updateBalance(to, balanceTo);
-
-                System.out.printf("[%s] >>> Transaction failed. Rolled back. Reason: %s%n", threadName, e.getMessage());
             }
+            failureReason = e.getMessage();
+        }
 
-            System.out.printf("[%s] >>> After transaction:%n", threadName);
-            bankDB.showBalances();
+        if (auditListener != null) {
+            auditListener.onTransfer(new TransferAudit(threadName, from, to, amount,
+                    balancesBefore, bankDB.snapshot(), committed, failureReason));
         }
     }
 }
@@ -0,0 +1,58 @@
+package com.example.acid;
+
+import java.beans.ConstructorProperties;
+
+// Point-in-time view of one phase histogram, exposed as CompositeData over JMX
+public class PhaseLatency {
+
+    private final long count;
+    private final double meanMicros;
+    private final double p50Micros;
+    private final double p90Micros;
+    private final double p99Micros;
+    private final double maxMicros;
+
+    @ConstructorProperties({"count", "meanMicros", "p50Micros", "p90Micros", "p99Micros", "maxMicros"})
+    public PhaseLatency(long count, double meanMicros, double p50Micros, double p90Micros, double p99Micros, double maxMicros) {
+        this.count = count;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p90Micros = p90Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    public static PhaseLatency of(LatencyHistogram histogram) {
+        return new PhaseLatency(
+                histogram.getCount(),
+                histogram.getMeanNanos() / 1_000.0,
+                histogram.getPercentileNanos(50) / 1_000.0,
+                histogram.getPercentileNanos(90) / 1_000.0,
+                histogram.getPercentileNanos(99) / 1_000.0,
+                histogram.getMaxNanos() / 1_000.0);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMeanMicros() {
+        return meanMicros;
+    }
+
+    public double getP50Micros() {
+        return p50Micros;
+    }
+
+    public double getP90Micros() {
+        return p90Micros;
+    }
+
+    public double getP99Micros() {
+        return p99Micros;
+    }
+
+    public double getMaxMicros() {
+        return maxMicros;
+    }
+}
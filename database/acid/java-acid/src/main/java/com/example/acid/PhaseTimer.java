@@ -0,0 +1,29 @@
+package com.example.acid;
+
+// Times a single transfer phase into both the JFR event stream and the phase histogram
+public class PhaseTimer implements AutoCloseable {
+
+    private final TransferMetrics metrics;
+    private final TransferPhase phase;
+    private final TransferPhaseEvent event;
+    private final long startNanos;
+
+    PhaseTimer(TransferMetrics metrics, TransferPhase phase, String from, String to) {
+        this.metrics = metrics;
+        this.phase = phase;
+        this.event = new TransferPhaseEvent();
+        if (event.isEnabled()) {
+            event.phase = phase.name();
+            event.from = from;
+            event.to = to;
+            event.begin();
+        }
+        this.startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void close() {
+        metrics.record(phase, System.nanoTime() - startNanos);
+        event.commit();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.acid;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// threadName is null for transfers made without the isolation lock
+public record TransferAudit(String threadName,
+                            String from,
+                            String to,
+                            BigDecimal amount,
+                            Map<String, BigDecimal> balancesBefore,
+                            Map<String, BigDecimal> balancesAfter,
+                            boolean committed,
+                            String failureReason) {
+}
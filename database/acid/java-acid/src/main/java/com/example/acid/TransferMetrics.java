@@ -0,0 +1,42 @@
+package com.example.acid;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TransferMetrics implements TransferMetricsMXBean {
+
+    public static final String OBJECT_NAME = "com.example.acid:type=TransferMetrics";
+
+    private final Map<TransferPhase, LatencyHistogram> histograms = new EnumMap<>(TransferPhase.class);
+
+    public TransferMetrics() {
+        for (TransferPhase phase : TransferPhase.values()) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+    }
+
+    public PhaseTimer start(TransferPhase phase, String from, String to) {
+        return new PhaseTimer(this, phase, from, to);
+    }
+
+    public void record(TransferPhase phase, long nanos) {
+        histograms.get(phase).record(nanos);
+    }
+
+    public LatencyHistogram getHistogram(TransferPhase phase) {
+        return histograms.get(phase);
+    }
+
+    @Override
+    public Map<String, PhaseLatency> getPhaseLatencies() {
+        Map<String, PhaseLatency> latencies = new LinkedHashMap<>();
+        histograms.forEach((phase, histogram) -> latencies.put(phase.name(), PhaseLatency.of(histogram)));
+        return latencies;
+    }
+
+    @Override
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.acid;
+
+import java.util.Map;
+
+public interface TransferMetricsMXBean {
+
+    Map<String, PhaseLatency> getPhaseLatencies();
+
+    void reset();
+}
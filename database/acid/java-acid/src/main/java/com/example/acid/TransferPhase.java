@@ -0,0 +1,10 @@
+package com.example.acid;
+
+public enum TransferPhase {
+    ACCOUNT_LOOKUP,
+    FUNDS_CHECK,
+    DEBIT,
+    CREDIT,
+    COMMIT,
+    ROLLBACK
+}
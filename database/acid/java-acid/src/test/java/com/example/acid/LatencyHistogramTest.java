@@ -0,0 +1,101 @@
+package com.example.acid;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void valuesBelow128AreExact() {
+        assertEquals(0, LatencyHistogram.indexOf(0));
+        assertEquals(127, LatencyHistogram.indexOf(127));
+        assertEquals(127, LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(127)));
+    }
+
+    @Test
+    void bucketBoundariesAbove128() {
+        // 128 and 129 share the first two-wide bucket
+        assertEquals(128, LatencyHistogram.indexOf(128));
+        assertEquals(128, LatencyHistogram.indexOf(129));
+        assertEquals(129, LatencyHistogram.highestEquivalentValue(128));
+        assertEquals(129, LatencyHistogram.indexOf(130));
+
+        assertEquals(191, LatencyHistogram.indexOf(255));
+        assertEquals(255, LatencyHistogram.highestEquivalentValue(191));
+
+        // 256 starts the four-wide buckets
+        assertEquals(192, LatencyHistogram.indexOf(256));
+        assertEquals(259, LatencyHistogram.highestEquivalentValue(192));
+    }
+
+    @Test
+    void longMaxValueFitsLastBucketWithoutOverflow() {
+        int index = LatencyHistogram.indexOf(Long.MAX_VALUE);
+
+        assertTrue(index < LatencyHistogram.INDEX_COUNT);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestEquivalentValue(index));
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getPercentileNanos(100));
+    }
+
+    @Test
+    void everyValueLiesInsideItsBucketWithinOnePercent() {
+        for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            long highest = LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(value));
+            assertTrue(highest >= value, "bucket of " + value + " ends at " + highest);
+            assertTrue(highest - value <= value / 64, "bucket of " + value + " too wide: " + highest);
+        }
+    }
+
+    @Test
+    void percentilesOfUniformDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1_000);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(50_000_500.0, histogram.getMeanNanos(), 0.001);
+        assertWithinOnePercent(50_000_000, histogram.getPercentileNanos(50));
+        assertWithinOnePercent(90_000_000, histogram.getPercentileNanos(90));
+        assertWithinOnePercent(99_000_000, histogram.getPercentileNanos(99));
+        assertEquals(100_000_000, histogram.getPercentileNanos(100));
+        assertEquals(100_000_000, histogram.getMaxNanos());
+    }
+
+    @Test
+    void percentilesOfBimodalDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 95; i++) {
+            histogram.record(100);
+        }
+        for (int i = 0; i < 5; i++) {
+            histogram.record(1_000_000);
+        }
+
+        assertEquals(100, histogram.getPercentileNanos(50));
+        assertEquals(100, histogram.getPercentileNanos(95));
+        assertWithinOnePercent(1_000_000, histogram.getPercentileNanos(96));
+    }
+
+    @Test
+    void emptyAndResetHistogramReportZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileNanos(99));
+
+        histogram.record(5_000);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.getPercentileNanos(50));
+    }
+
+    private void assertWithinOnePercent(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 100, "expected ~" + expected + " but was " + actual);
+    }
+}
@@ -5,11 +5,13 @@ import com.example.acid.service.dto.TransferDto;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 
 @Log4j2
+@Order(2)
 @Component
 public class ConcurrencyTestRunner implements CommandLineRunner {
 
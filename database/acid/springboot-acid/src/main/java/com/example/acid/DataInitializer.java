@@ -4,12 +4,14 @@ import com.example.acid.entity.Account;
 import com.example.acid.repository.AccountRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 
+@Order(1)
 @Component
 public class DataInitializer implements CommandLineRunner {
 
@@ -0,0 +1,11 @@
+package com.example.acid.audit;
+
+import java.math.BigDecimal;
+
+// rejectionReason is null for transfers that were applied
+public record TransferAuditEvent(String threadName, String from, String to, BigDecimal amount, String rejectionReason) {
+
+    public TransferAuditEvent(String threadName, String from, String to, BigDecimal amount) {
+        this(threadName, from, to, amount, null);
+    }
+}
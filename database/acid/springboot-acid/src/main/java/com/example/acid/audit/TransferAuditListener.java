@@ -0,0 +1,32 @@
+package com.example.acid.audit;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Logs transfer outcomes off the request thread; disable with bank.audit.enabled=false
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "bank.audit.enabled", havingValue = "true", matchIfMissing = true)
+public class TransferAuditListener {
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCommit(TransferAuditEvent event) {
+        if (event.rejectionReason() != null) {
+            log.info("{} rejected: ${} from {} to {} ({})", event.threadName(), event.amount(), event.from(), event.to(),
+                    event.rejectionReason());
+            return;
+        }
+        log.info("{} committed: ${} from {} to {}", event.threadName(), event.amount(), event.from(), event.to());
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onRollback(TransferAuditEvent event) {
+        log.info("{} rolled back: ${} from {} to {}", event.threadName(), event.amount(), event.from(), event.to());
+    }
+}
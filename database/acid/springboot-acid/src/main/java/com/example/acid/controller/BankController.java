@@ -1,29 +1,64 @@
 package com.example.acid.controller;
 
+import com.example.acid.service.AccountSummaryService;
 import com.example.acid.service.BankService;
+import com.example.acid.service.NettingSettlementService;
+import com.example.acid.service.dto.AccountSummaryDto;
 import com.example.acid.service.dto.TransferDto;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/v1/")
 public class BankController {
 
     private final BankService bankService;
+    private final AccountSummaryService accountSummaryService;
+    private final NettingSettlementService nettingSettlementService;
 
     @Autowired
-    public BankController(BankService bankService) {
+    public BankController(BankService bankService,
+                          AccountSummaryService accountSummaryService,
+                          ObjectProvider<NettingSettlementService> nettingSettlementService) {
         this.bankService = bankService;
+        this.accountSummaryService = accountSummaryService;
+        this.nettingSettlementService = nettingSettlementService.getIfAvailable();
     }
 
+    // With bank.settlement.mode=netting the response is sent once the transfer's settlement batch commits
     @PostMapping("/transfer")
-    public ResponseEntity<String> transfer(@Valid @RequestBody TransferDto request) {
+    public CompletableFuture<ResponseEntity<String>> transfer(@Valid @RequestBody TransferDto request) {
+        if (nettingSettlementService != null) {
+            return nettingSettlementService.submit(request).thenApply(ResponseEntity::ok);
+        }
         String result = bankService.transfer(request);
-        return ResponseEntity.ok(result);
+        return CompletableFuture.completedFuture(ResponseEntity.ok(result));
+    }
+
+    @GetMapping("/accounts/{name}/summary")
+    public ResponseEntity<AccountSummaryDto> summary(@PathVariable String name,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(accountSummaryService.getSummary(name, from, to));
+    }
+
+    @PostMapping("/accounts/summary/rebuild")
+    public ResponseEntity<String> rebuildSummaries(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        accountSummaryService.rebuild(from, to);
+        return ResponseEntity.ok("Summaries rebuilt");
     }
 }
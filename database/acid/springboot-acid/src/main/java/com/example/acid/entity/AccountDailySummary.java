@@ -0,0 +1,38 @@
+package com.example.acid.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "account_daily_summaries",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"accountName", "summaryDate"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountDailySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String accountName;
+
+    private LocalDate summaryDate;
+
+    private BigDecimal debitTotal;
+
+    private BigDecimal creditTotal;
+
+    private long debitCount;
+
+    private long creditCount;
+
+    private BigDecimal closingBalance;
+
+    // Id of the movement closingBalance was taken from; a movement with a higher id replaces it
+    private Long lastMovementId;
+}
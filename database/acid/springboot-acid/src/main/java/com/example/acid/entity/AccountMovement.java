@@ -0,0 +1,39 @@
+package com.example.acid.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+// One debit or credit of a committed transfer; the source rows of account_daily_summaries
+@Entity
+@Table(name = "account_movements", indexes = {
+        @Index(columnList = "rolledUp, id"),
+        @Index(columnList = "summaryDate")})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountMovement {
+
+    // Assigned while the account row is locked, so ids of one account follow commit order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String accountName;
+
+    private LocalDate summaryDate;
+
+    private BigDecimal debit;
+
+    private BigDecimal credit;
+
+    private BigDecimal balance;
+
+    private Instant occurredAt;
+
+    private boolean rolledUp;
+}
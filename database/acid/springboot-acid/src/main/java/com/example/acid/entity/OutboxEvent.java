@@ -0,0 +1,31 @@
+package com.example.acid.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "outbox_events", indexes = @Index(columnList = "publishedAt, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String type;
+
+    // Events with the same key (account name) are published in id order
+    private String aggregateKey;
+
+    @Column(length = 1024)
+    private String payload;
+
+    private Instant createdAt;
+
+    private Instant publishedAt;
+}
@@ -0,0 +1,4 @@
+package com.example.acid.monitoring;
+
+public record PhaseLatency(long count, double meanMs, double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+}
@@ -0,0 +1,31 @@
+package com.example.acid.monitoring;
+
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.Event;
+
+import java.util.concurrent.TimeUnit;
+
+// Times a single phase into both the JFR event stream and the phase timer histogram
+public class PhaseTimer implements AutoCloseable {
+
+    private final Timer timer;
+    private final Event event;
+    private final long startNanos;
+
+    PhaseTimer(Timer timer, Event event) {
+        this.timer = timer;
+        this.event = event;
+        if (event.isEnabled()) {
+            event.begin();
+        }
+        this.startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void close() {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (event.isEnabled()) {
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.acid.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JFR event emitted once per phase of a netting settlement batch
+@Name("com.example.acid.SettlementBatchPhase")
+@Label("Settlement Batch Phase")
+@Category({"Bank", "Transfer"})
+@Description("Time spent in one phase of a netting settlement batch")
+@StackTrace(false)
+public class SettlementBatchEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Batch Size")
+    int batchSize;
+}
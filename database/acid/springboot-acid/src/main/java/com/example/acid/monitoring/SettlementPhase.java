@@ -0,0 +1,17 @@
+package com.example.acid.monitoring;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Phases of one netting settlement batch; recorded per batch, separate from the per-transfer TransferPhase timers
+@Getter
+@RequiredArgsConstructor
+public enum SettlementPhase {
+    ACCOUNT_LOOKUP("account-lookup"),
+    FUNDS_CHECK("funds-check"),
+    NETTING("netting"),
+    COMMIT("commit"),
+    ROLLBACK("rollback");
+
+    private final String tag;
+}
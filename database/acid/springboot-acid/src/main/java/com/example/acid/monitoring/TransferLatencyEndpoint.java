@@ -0,0 +1,58 @@
+package com.example.acid.monitoring;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// GET /actuator/transferlatency -> per-phase count, mean and p50/p90/p99/max in milliseconds,
+// for single transfers and (in netting mode) for settlement batches
+@Component
+@Endpoint(id = "transferlatency")
+public class TransferLatencyEndpoint {
+
+    private final TransferMetrics transferMetrics;
+
+    public TransferLatencyEndpoint(TransferMetrics transferMetrics) {
+        this.transferMetrics = transferMetrics;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, PhaseLatency>> phases() {
+        Map<String, Map<String, PhaseLatency>> phases = new LinkedHashMap<>();
+        phases.put("transfer", latencies(transferMetrics.getTimers().values()));
+        phases.put("settlement-batch", latencies(transferMetrics.getBatchTimers().values()));
+        return phases;
+    }
+
+    private Map<String, PhaseLatency> latencies(Collection<Timer> timers) {
+        Map<String, PhaseLatency> latencies = new LinkedHashMap<>();
+        for (Timer timer : timers) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            latencies.put(timer.getId().getTag("phase"), new PhaseLatency(
+                    snapshot.count(),
+                    snapshot.mean(TimeUnit.MILLISECONDS),
+                    percentile(snapshot, 0.5),
+                    percentile(snapshot, 0.9),
+                    percentile(snapshot, 0.99),
+                    snapshot.max(TimeUnit.MILLISECONDS)));
+        }
+        return latencies;
+    }
+
+    private double percentile(HistogramSnapshot snapshot, double percentile) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.acid.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.Event;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Component
+public class TransferMetrics {
+
+    public static final String TIMER_NAME = "bank.transfer.phase";
+    public static final String BATCH_TIMER_NAME = "bank.settlement.batch.phase";
+    public static final String BATCH_SIZE_NAME = "bank.settlement.batch.size";
+
+    private final Map<TransferPhase, Timer> timers = new EnumMap<>(TransferPhase.class);
+    private final Map<SettlementPhase, Timer> batchTimers = new EnumMap<>(SettlementPhase.class);
+    private final DistributionSummary batchSizes;
+
+    public TransferMetrics(MeterRegistry meterRegistry) {
+        for (TransferPhase phase : TransferPhase.values()) {
+            timers.put(phase, Timer.builder(TIMER_NAME)
+                    .description("Time spent in one phase of a bank transfer")
+                    .tag("phase", phase.getTag())
+                    .publishPercentiles(0.5, 0.9, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        for (SettlementPhase phase : SettlementPhase.values()) {
+            batchTimers.put(phase, Timer.builder(BATCH_TIMER_NAME)
+                    .description("Time spent in one phase of a netting settlement batch")
+                    .tag("phase", phase.getTag())
+                    .publishPercentiles(0.5, 0.9, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        batchSizes = DistributionSummary.builder(BATCH_SIZE_NAME)
+                .description("Transfers per netting settlement batch")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+    }
+
+    public PhaseTimer start(TransferPhase phase, String from, String to) {
+        return new PhaseTimer(timers.get(phase), transferEvent(phase.getTag(), from, to));
+    }
+
+    public PhaseTimer startBatch(SettlementPhase phase, int batchSize) {
+        return new PhaseTimer(batchTimers.get(phase), batchEvent(phase.getTag(), batchSize));
+    }
+
+    public void recordBatchSize(int batchSize) {
+        batchSizes.record(batchSize);
+    }
+
+    // Times the commit (or rollback) done by the transaction manager after the service method returns
+    public void timeCompletion(String from, String to) {
+        TransferPhaseEvent event = transferEvent(null, from, to);
+        registerCompletion(timers.get(TransferPhase.COMMIT), timers.get(TransferPhase.ROLLBACK), event,
+                committed -> event.phase = (committed ? TransferPhase.COMMIT : TransferPhase.ROLLBACK).getTag());
+    }
+
+    public void timeBatchCompletion(int batchSize) {
+        SettlementBatchEvent event = batchEvent(null, batchSize);
+        registerCompletion(batchTimers.get(SettlementPhase.COMMIT), batchTimers.get(SettlementPhase.ROLLBACK), event,
+                committed -> event.phase = (committed ? SettlementPhase.COMMIT : SettlementPhase.ROLLBACK).getTag());
+    }
+
+    public Map<TransferPhase, Timer> getTimers() {
+        return timers;
+    }
+
+    public Map<SettlementPhase, Timer> getBatchTimers() {
+        return batchTimers;
+    }
+
+    // Runs first among synchronizations, so after-commit listeners are not counted as commit time
+    private void registerCompletion(Timer commitTimer, Timer rollbackTimer, Event event, Consumer<Boolean> outcome) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean started;
+            private long startNanos;
+
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void beforeCompletion() {
+                if (event.isEnabled()) {
+                    event.begin();
+                }
+                started = true;
+                startNanos = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!started) {
+                    return;
+                }
+                boolean committed = status == STATUS_COMMITTED;
+                (committed ? commitTimer : rollbackTimer).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                if (event.isEnabled()) {
+                    outcome.accept(committed);
+                    event.commit();
+                }
+            }
+        });
+    }
+
+    private TransferPhaseEvent transferEvent(String phase, String from, String to) {
+        TransferPhaseEvent event = new TransferPhaseEvent();
+        if (event.isEnabled()) {
+            event.phase = phase;
+            event.from = from;
+            event.to = to;
+        }
+        return event;
+    }
+
+    private SettlementBatchEvent batchEvent(String phase, int batchSize) {
+        SettlementBatchEvent event = new SettlementBatchEvent();
+        if (event.isEnabled()) {
+            event.phase = phase;
+            event.batchSize = batchSize;
+        }
+        return event;
+    }
+}
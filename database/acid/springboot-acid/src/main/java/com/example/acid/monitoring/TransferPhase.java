@@ -0,0 +1,19 @@
+package com.example.acid.monitoring;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum TransferPhase {
+    ACCOUNT_LOOKUP("account-lookup"),
+    FUNDS_CHECK("funds-check"),
+    DEBIT("debit"),
+    CREDIT("credit"),
+    ROLLUP_STAGING("rollup-staging"),
+    OUTBOX_WRITE("outbox-write"),
+    COMMIT("commit"),
+    ROLLBACK("rollback");
+
+    private final String tag;
+}
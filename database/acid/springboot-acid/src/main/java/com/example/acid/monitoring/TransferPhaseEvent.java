@@ -0,0 +1,26 @@
+package com.example.acid.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JFR event emitted once per transfer phase (record with -XX:StartFlightRecording)
+@Name("com.example.acid.TransferPhase")
+@Label("Transfer Phase")
+@Category({"Bank", "Transfer"})
+@Description("Time spent in one phase of a bank transfer")
+@StackTrace(false)
+public class TransferPhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("From")
+    String from;
+
+    @Label("To")
+    String to;
+}
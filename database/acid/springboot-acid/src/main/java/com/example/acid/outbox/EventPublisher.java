@@ -0,0 +1,13 @@
+package com.example.acid.outbox;
+
+import java.util.List;
+
+/**
+ * Delivers relayed outbox messages to a broker. A batch is all-or-nothing: if publish throws,
+ * none of its messages are marked as published and the whole batch is retried on the next poll,
+ * so delivery is at-least-once.
+ */
+public interface EventPublisher {
+
+    void publish(List<OutboxMessage> batch);
+}
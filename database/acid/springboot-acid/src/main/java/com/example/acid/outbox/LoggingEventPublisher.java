@@ -0,0 +1,17 @@
+package com.example.acid.outbox;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.util.List;
+
+// Default publisher until a real broker (e.g. Kafka) is wired in: logs each message and keeps nothing
+@Log4j2
+public class LoggingEventPublisher implements EventPublisher {
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            log.info("Published {} #{} for {}: {}", message.type(), message.id(), message.key(), message.payload());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.acid.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfiguration {
+
+    // Set bank.outbox.publisher to anything else and define your own EventPublisher bean to replace it
+    @Bean
+    @ConditionalOnProperty(name = "bank.outbox.publisher", havingValue = "logging", matchIfMissing = true)
+    public LoggingEventPublisher loggingEventPublisher() {
+        return new LoggingEventPublisher();
+    }
+}
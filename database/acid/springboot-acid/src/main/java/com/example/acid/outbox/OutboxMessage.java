@@ -0,0 +1,6 @@
+package com.example.acid.outbox;
+
+import java.time.Instant;
+
+public record OutboxMessage(Long id, String type, String key, String payload, Instant createdAt) {
+}
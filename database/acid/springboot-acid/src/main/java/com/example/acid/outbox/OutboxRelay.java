@@ -0,0 +1,125 @@
+package com.example.acid.outbox;
+
+import com.example.acid.entity.OutboxEvent;
+import com.example.acid.repository.OutboxEventRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Polls the outbox every {@code bank.outbox.linger-ms} and publishes pending events in batches of
+ * {@code bank.outbox.batch-size}, keeping broker round trips off the transfer commit path.
+ */
+@Log4j2
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       EventPublisher eventPublisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${bank.outbox.batch-size:100}") int batchSize,
+                       @Value("${bank.outbox.retention-hours:168}") long retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    @Scheduled(fixedDelayString = "${bank.outbox.linger-ms:100}")
+    public void relay() {
+        try {
+            boolean more;
+            do {
+                more = Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch()));
+            } while (more);
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, retrying on next poll", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bank.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        Instant before = Instant.now().minus(retention);
+        Integer purged = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(before));
+        log.debug("Purged {} published outbox events before {}", purged, before);
+    }
+
+    // Returns true when a full batch was claimed and published, i.e. more events may be waiting
+    private boolean relayBatch() {
+        List<OutboxEvent> claimed = outboxEventRepository.claimPending(batchSize);
+        if (claimed.isEmpty()) {
+            return false;
+        }
+
+        List<OutboxEvent> publishable = inAccountOrder(claimed);
+        if (publishable.isEmpty()) {
+            return false;
+        }
+
+        eventPublisher.publish(publishable.stream()
+                .map(event -> new OutboxMessage(event.getId(), event.getType(), event.getAggregateKey(),
+                        event.getPayload(), event.getCreatedAt()))
+                .toList());
+
+        Instant now = Instant.now();
+        publishable.forEach(event -> event.setPublishedAt(now));
+        outboxEventRepository.saveAll(publishable);
+
+        log.debug("Relayed {} outbox events", publishable.size());
+        return claimed.size() == batchSize && publishable.size() == claimed.size();
+    }
+
+    // Per account, publish only the claimed events that directly follow the oldest pending one;
+    // an earlier event claimed by another relay (skipped lock) holds the rest back until it is published
+    private List<OutboxEvent> inAccountOrder(List<OutboxEvent> claimed) {
+        Map<Long, OutboxEvent> claimedById = new LinkedHashMap<>();
+        Set<String> keys = new HashSet<>();
+        for (OutboxEvent event : claimed) {
+            claimedById.put(event.getId(), event);
+            keys.add(event.getAggregateKey());
+        }
+        Long maxId = claimed.get(claimed.size() - 1).getId();
+
+        Map<String, Boolean> keyInOrder = new HashMap<>();
+        Set<Long> publishableIds = new HashSet<>();
+        for (Object[] row : outboxEventRepository.findPendingIds(keys, maxId)) {
+            Long id = (Long) row[0];
+            String key = (String) row[1];
+            boolean inOrder = keyInOrder.getOrDefault(key, true) && claimedById.containsKey(id);
+            keyInOrder.put(key, inOrder);
+            if (inOrder) {
+                publishableIds.add(id);
+            }
+        }
+
+        List<OutboxEvent> publishable = new ArrayList<>(publishableIds.size());
+        claimedById.forEach((id, event) -> {
+            if (publishableIds.contains(id)) {
+                publishable.add(event);
+            }
+        });
+        return publishable;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.acid.outbox;
+
+import com.example.acid.entity.OutboxEvent;
+import com.example.acid.monitoring.PhaseTimer;
+import com.example.acid.monitoring.TransferMetrics;
+import com.example.acid.monitoring.TransferPhase;
+import com.example.acid.repository.OutboxEventRepository;
+import com.example.acid.service.event.TransferCommittedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Writes the outbox rows inside the transfer transaction, so they commit or roll back with the balances
+@Component
+public class OutboxWriter {
+
+    public static final String ACCOUNT_DEBITED = "AccountDebited";
+    public static final String ACCOUNT_CREDITED = "AccountCredited";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final TransferMetrics transferMetrics;
+
+    @Autowired
+    public OutboxWriter(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper, TransferMetrics transferMetrics) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.transferMetrics = transferMetrics;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTransfer(TransferCommittedEvent event) {
+        try (PhaseTimer ignored = transferMetrics.start(TransferPhase.OUTBOX_WRITE, event.from(), event.to())) {
+            // Flush the balance updates first: the account row locks are then held before the outbox ids
+            // are assigned, so ids for the same account follow commit order
+            outboxEventRepository.flush();
+
+            String transferId = UUID.randomUUID().toString();
+            outboxEventRepository.saveAll(List.of(
+                    outboxEvent(ACCOUNT_DEBITED, event.from(), event.to(), transferId, event.amount(), event.fromBalance(), event.occurredAt()),
+                    outboxEvent(ACCOUNT_CREDITED, event.to(), event.from(), transferId, event.amount(), event.toBalance(), event.occurredAt())));
+        }
+    }
+
+    private OutboxEvent outboxEvent(String type, String account, String counterparty, String transferId,
+                                    BigDecimal amount, BigDecimal balance, Instant occurredAt) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("transferId", transferId);
+        payload.put("account", account);
+        payload.put("counterparty", counterparty);
+        payload.put("amount", amount);
+        payload.put("balance", balance);
+        payload.put("occurredAt", occurredAt.toString());
+
+        try {
+            return OutboxEvent.builder()
+                    .type(type)
+                    .aggregateKey(account)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .createdAt(occurredAt)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + type + " event", e);
+        }
+    }
+}
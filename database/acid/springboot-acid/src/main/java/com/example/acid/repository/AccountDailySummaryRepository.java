@@ -0,0 +1,23 @@
+package com.example.acid.repository;
+
+import com.example.acid.entity.AccountDailySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface AccountDailySummaryRepository extends JpaRepository<AccountDailySummary, Long> {
+
+    Optional<AccountDailySummary> findByAccountNameAndSummaryDate(String accountName, LocalDate summaryDate);
+
+    List<AccountDailySummary> findByAccountNameAndSummaryDateBetweenOrderBySummaryDateAsc(String accountName,
+                                                                                          LocalDate from,
+                                                                                          LocalDate to);
+
+    @Modifying
+    @Query("delete from AccountDailySummary s where s.summaryDate between :from and :to")
+    int deleteBySummaryDateBetween(LocalDate from, LocalDate to);
+}
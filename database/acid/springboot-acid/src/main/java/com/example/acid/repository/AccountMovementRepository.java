@@ -0,0 +1,23 @@
+package com.example.acid.repository;
+
+import com.example.acid.entity.AccountMovement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AccountMovementRepository extends JpaRepository<AccountMovement, Long> {
+
+    List<AccountMovement> findByRolledUpFalseOrderByIdAsc(Pageable pageable);
+
+    @Modifying
+    @Query("update AccountMovement m set m.rolledUp = false where m.summaryDate between :from and :to")
+    int resetRolledUp(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("delete from AccountMovement m where m.rolledUp = true and m.summaryDate < :before")
+    int deleteRolledUpBefore(LocalDate before);
+}
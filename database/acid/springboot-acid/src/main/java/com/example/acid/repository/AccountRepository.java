@@ -1,11 +1,18 @@
 package com.example.acid.repository;
 
 import com.example.acid.entity.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
     Optional<Account> findByName(String name);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Account> findByNameIn(Collection<String> names);
 }
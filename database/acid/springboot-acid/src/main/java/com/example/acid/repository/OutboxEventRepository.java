@@ -0,0 +1,27 @@
+package com.example.acid.repository;
+
+import com.example.acid.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Concurrent relays claim disjoint batches. Native because Hibernate's H2 dialect drops SKIP LOCKED;
+    // this form is accepted by H2, PostgreSQL and MySQL 8
+    @Query(value = "select * from outbox_events where published_at is null order by id limit :limit for update skip locked",
+            nativeQuery = true)
+    List<OutboxEvent> claimPending(int limit);
+
+    @Query("select e.id, e.aggregateKey from OutboxEvent e " +
+            "where e.publishedAt is null and e.aggregateKey in :keys and e.id <= :maxId order by e.id")
+    List<Object[]> findPendingIds(Collection<String> keys, Long maxId);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedAt < :before")
+    int deletePublishedBefore(Instant before);
+}
@@ -0,0 +1,215 @@
+package com.example.acid.service;
+
+import com.example.acid.entity.AccountDailySummary;
+import com.example.acid.entity.AccountMovement;
+import com.example.acid.monitoring.PhaseTimer;
+import com.example.acid.monitoring.TransferMetrics;
+import com.example.acid.monitoring.TransferPhase;
+import com.example.acid.repository.AccountDailySummaryRepository;
+import com.example.acid.repository.AccountMovementRepository;
+import com.example.acid.service.dto.AccountSummaryDto;
+import com.example.acid.service.dto.DailySummaryDto;
+import com.example.acid.service.event.TransferCommittedEvent;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains per-account, per-day rollups (a materialized view over transfers) so summary
+ * queries read O(days) precomputed rows instead of scanning individual movements.
+ * Each transfer stages its debit and credit in account_movements inside its own transaction;
+ * the scheduled flush folds staged movements into the rollups in batches, so summaries lag
+ * behind the accounts table by at most one flush interval and nothing is lost on a restart
+ * or a failed flush. Folded movements are kept for {@code bank.rollup.movement-retention-days}
+ * so {@link #rebuild} can recompute summaries within that window; older ranges are rejected
+ * because their movements are gone and the existing summaries could not be restored.
+ */
+@Log4j2
+@Service
+public class AccountSummaryService {
+
+    private final AccountDailySummaryRepository summaryRepository;
+    private final AccountMovementRepository movementRepository;
+    private final TransferMetrics transferMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int movementRetentionDays;
+
+    @Autowired
+    public AccountSummaryService(AccountDailySummaryRepository summaryRepository,
+                                 AccountMovementRepository movementRepository,
+                                 TransferMetrics transferMetrics,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${bank.rollup.batch-size:500}") int batchSize,
+                                 @Value("${bank.rollup.movement-retention-days:90}") int movementRetentionDays) {
+        this.summaryRepository = summaryRepository;
+        this.movementRepository = movementRepository;
+        this.transferMetrics = transferMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.movementRetentionDays = movementRetentionDays;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTransferCommitted(TransferCommittedEvent event) {
+        try (PhaseTimer ignored = transferMetrics.start(TransferPhase.ROLLUP_STAGING, event.from(), event.to())) {
+            // Balance updates are flushed first, so both account rows are locked before the movement ids
+            // and the timestamp are taken: per account, both follow commit order
+            movementRepository.flush();
+
+            Instant now = Instant.now();
+            LocalDate day = LocalDate.ofInstant(now, ZoneId.systemDefault());
+            movementRepository.saveAll(List.of(
+                    movement(event.from(), day, now, event.amount(), BigDecimal.ZERO, event.fromBalance()),
+                    movement(event.to(), day, now, BigDecimal.ZERO, event.amount(), event.toBalance())));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bank.rollup.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        try {
+            boolean more;
+            do {
+                more = Boolean.TRUE.equals(transactionTemplate.execute(status -> foldBatch()));
+            } while (more);
+        } catch (RuntimeException e) {
+            // The failed batch's transaction rolled back, so its movements are still staged for the next run
+            log.warn("Rollup flush failed, retrying on next run", e);
+        }
+    }
+
+    // Recomputes the summaries of [from, to] from the retained movements in one transaction
+    public synchronized void rebuild(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        LocalDate oldestRebuildable = LocalDate.now().minusDays(movementRetentionDays);
+        if (from.isBefore(oldestRebuildable)) {
+            throw new IllegalArgumentException("'from' must not be before " + oldestRebuildable
+                    + ", older movements have been purged");
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            summaryRepository.deleteBySummaryDateBetween(from, to);
+            movementRepository.resetRolledUp(from, to);
+            boolean more;
+            do {
+                more = foldBatch();
+            } while (more);
+        });
+        log.info("Rebuilt account summaries from {} to {}", from, to);
+    }
+
+    @Scheduled(fixedDelayString = "${bank.rollup.purge-interval-ms:3600000}")
+    public void purgeMovements() {
+        LocalDate before = LocalDate.now().minusDays(movementRetentionDays);
+        Integer purged = transactionTemplate.execute(status -> movementRepository.deleteRolledUpBefore(before));
+        log.debug("Purged {} rolled up movements before {}", purged, before);
+    }
+
+    @Transactional(readOnly = true)
+    public AccountSummaryDto getSummary(String name, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+
+        List<DailySummaryDto> days = summaryRepository
+                .findByAccountNameAndSummaryDateBetweenOrderBySummaryDateAsc(name, from, to).stream()
+                .map(summary -> DailySummaryDto.builder()
+                        .date(summary.getSummaryDate())
+                        .debitTotal(summary.getDebitTotal())
+                        .creditTotal(summary.getCreditTotal())
+                        .debitCount(summary.getDebitCount())
+                        .creditCount(summary.getCreditCount())
+                        .closingBalance(summary.getClosingBalance())
+                        .build())
+                .toList();
+
+        return AccountSummaryDto.builder()
+                .name(name)
+                .from(from)
+                .to(to)
+                .debitTotal(days.stream().map(DailySummaryDto::getDebitTotal).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .creditTotal(days.stream().map(DailySummaryDto::getCreditTotal).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .debitCount(days.stream().mapToLong(DailySummaryDto::getDebitCount).sum())
+                .creditCount(days.stream().mapToLong(DailySummaryDto::getCreditCount).sum())
+                .days(days)
+                .build();
+    }
+
+    // One read and one write per distinct (account, day) in the batch, however many transfers it holds.
+    // Returns true when a full batch was folded, i.e. more movements may be staged.
+    private boolean foldBatch() {
+        List<AccountMovement> batch = movementRepository.findByRolledUpFalseOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        Map<SummaryKey, AccountDailySummary> summaries = new LinkedHashMap<>();
+        for (AccountMovement movement : batch) {
+            AccountDailySummary summary = summaries.computeIfAbsent(
+                    new SummaryKey(movement.getAccountName(), movement.getSummaryDate()), this::loadOrCreate);
+
+            if (movement.getDebit().signum() > 0) {
+                summary.setDebitTotal(summary.getDebitTotal().add(movement.getDebit()));
+                summary.setDebitCount(summary.getDebitCount() + 1);
+            }
+            if (movement.getCredit().signum() > 0) {
+                summary.setCreditTotal(summary.getCreditTotal().add(movement.getCredit()));
+                summary.setCreditCount(summary.getCreditCount() + 1);
+            }
+            if (summary.getLastMovementId() == null || movement.getId() > summary.getLastMovementId()) {
+                summary.setClosingBalance(movement.getBalance());
+                summary.setLastMovementId(movement.getId());
+            }
+            movement.setRolledUp(true);
+        }
+        summaryRepository.saveAll(summaries.values());
+        movementRepository.saveAll(batch);
+
+        log.debug("Rolled up {} account movements", batch.size());
+        return batch.size() == batchSize;
+    }
+
+    private AccountDailySummary loadOrCreate(SummaryKey key) {
+        return summaryRepository.findByAccountNameAndSummaryDate(key.account(), key.day())
+                .orElseGet(() -> AccountDailySummary.builder()
+                        .accountName(key.account())
+                        .summaryDate(key.day())
+                        .debitTotal(BigDecimal.ZERO)
+                        .creditTotal(BigDecimal.ZERO)
+                        .build());
+    }
+
+    private AccountMovement movement(String account, LocalDate day, Instant occurredAt,
+                                     BigDecimal debit, BigDecimal credit, BigDecimal balance) {
+        return AccountMovement.builder()
+                .accountName(account)
+                .summaryDate(day)
+                .occurredAt(occurredAt)
+                .debit(debit)
+                .credit(credit)
+                .balance(balance)
+                .build();
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+    }
+
+    private record SummaryKey(String account, LocalDate day) {
+    }
+}
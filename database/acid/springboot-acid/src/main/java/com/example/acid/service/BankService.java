@@ -1,51 +1,78 @@
 package com.example.acid.service;
 
+import com.example.acid.audit.TransferAuditEvent;
 import com.example.acid.entity.Account;
 import com.example.acid.exception.TransferException;
+import com.example.acid.monitoring.PhaseTimer;
+import com.example.acid.monitoring.TransferMetrics;
+import com.example.acid.monitoring.TransferPhase;
 import com.example.acid.repository.AccountRepository;
 import com.example.acid.service.dto.TransferDto;
-import lombok.extern.log4j.Log4j2;
+import com.example.acid.service.event.TransferCommittedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
-@Log4j2
+import java.time.Instant;
+
 @Service
 public class BankService {
 
     private final AccountRepository accountRepository;
+    private final TransferMetrics transferMetrics;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public BankService(AccountRepository accountRepository) {
+    public BankService(AccountRepository accountRepository,
+                       TransferMetrics transferMetrics,
+                       ApplicationEventPublisher eventPublisher) {
         this.accountRepository = accountRepository;
+        this.transferMetrics = transferMetrics;
+        this.eventPublisher = eventPublisher;
     }
 
     // Add isolation level (REPEATABLE_READ or SERIALIZABLE for stricter control)
     @Transactional(isolation = Isolation.REPEATABLE_READ)
     public String transfer(TransferDto request) {
-        log.info("{} started", Thread.currentThread().getName());
+        String from = request.getFrom();
+        String to = request.getTo();
+        eventPublisher.publishEvent(new TransferAuditEvent(Thread.currentThread().getName(), from, to, request.getAmount()));
+        transferMetrics.timeCompletion(from, to);
 
-        Account fromAccount = accountRepository.findByName(request.getFrom()).orElseThrow();
-        Account toAccount = accountRepository.findByName(request.getFrom()).orElseThrow();
+        Account fromAccount;
+        Account toAccount;
+        try (PhaseTimer ignored = transferMetrics.start(TransferPhase.ACCOUNT_LOOKUP, from, to)) {
+            fromAccount = accountRepository.findByName(from).orElseThrow();
+            toAccount = accountRepository.findByName(to).orElseThrow();
+        }
 
-        if (fromAccount.getBalance().compareTo(request.getAmount()) < 0) {
-            throw new TransferException("Insufficient funds");
+        try (PhaseTimer ignored = transferMetrics.start(TransferPhase.FUNDS_CHECK, from, to)) {
+            if (fromAccount.getBalance().compareTo(request.getAmount()) < 0) {
+                throw new TransferException("Insufficient funds");
+            }
         }
 
         // Simulate processing delay (to test concurrent access)
         try { Thread.sleep(2000); } catch (InterruptedException ignored) {}
 
-        fromAccount.setBalance(fromAccount.getBalance().subtract(request.getAmount()));
-        accountRepository.save(fromAccount);
+        // Flush each update inside its phase so the UPDATE statement is timed there, not at commit
+        try (PhaseTimer ignored = transferMetrics.start(TransferPhase.DEBIT, from, to)) {
+            fromAccount.setBalance(fromAccount.getBalance().subtract(request.getAmount()));
+            accountRepository.saveAndFlush(fromAccount);
+        }
 
         // Simulate a failure here to test rollback
         // if (true) throw new RuntimeException("Simulated error");
 
-        toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
-        accountRepository.save(toAccount);
+        try (PhaseTimer ignored = transferMetrics.start(TransferPhase.CREDIT, from, to)) {
+            toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
+            accountRepository.saveAndFlush(toAccount);
+        }
 
-        log.info("{} committed", Thread.currentThread().getName());
+        eventPublisher.publishEvent(new TransferCommittedEvent(from, to, request.getAmount(),
+                fromAccount.getBalance(), toAccount.getBalance(), Instant.now()));
         return "Transfer successful";
     }
 }
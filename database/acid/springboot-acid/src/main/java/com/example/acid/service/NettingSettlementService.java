@@ -0,0 +1,229 @@
+package com.example.acid.service;
+
+import com.example.acid.audit.TransferAuditEvent;
+import com.example.acid.entity.Account;
+import com.example.acid.exception.TransferException;
+import com.example.acid.monitoring.PhaseTimer;
+import com.example.acid.monitoring.SettlementPhase;
+import com.example.acid.monitoring.TransferMetrics;
+import com.example.acid.repository.AccountRepository;
+import com.example.acid.service.dto.TransferDto;
+import com.example.acid.service.event.TransferCommittedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in settlement mode ({@code bank.settlement.mode=netting}) for high-frequency transfers between
+ * the same accounts. Transfers are collected for up to {@code bank.settlement.window-ms} or
+ * {@code bank.settlement.max-batch-size} transfers, checked in arrival order against a running
+ * provisional balance, and the net movement per account is applied in one transaction: one row
+ * update per touched account instead of two per transfer. Each caller's future completes when that
+ * transaction commits; transfers failing the funds check are rejected without affecting the rest.
+ * At most {@code bank.settlement.max-pending} transfers may wait for settlement; further submits
+ * fail immediately, as do submits after shutdown.
+ */
+@Log4j2
+@Service
+@ConditionalOnProperty(name = "bank.settlement.mode", havingValue = "netting")
+public class NettingSettlementService {
+
+    private final AccountRepository accountRepository;
+    private final TransferMetrics transferMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final int maxPending;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "netting-settlement");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Object lock = new Object();
+    // Currently open window, at most maxBatchSize transfers; null until the next submit opens one
+    private List<PendingTransfer> window;
+    // Submitted transfers whose settlement has not finished yet, guarded by lock
+    private int pending;
+
+    @Autowired
+    public NettingSettlementService(AccountRepository accountRepository,
+                                    TransferMetrics transferMetrics,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${bank.settlement.window-ms:5}") long windowMs,
+                                    @Value("${bank.settlement.max-batch-size:256}") int maxBatchSize,
+                                    @Value("${bank.settlement.max-pending:10000}") int maxPending) {
+        this.accountRepository = accountRepository;
+        this.transferMetrics = transferMetrics;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.maxPending = maxPending;
+    }
+
+    public CompletableFuture<String> submit(TransferDto request) {
+        PendingTransfer transfer = new PendingTransfer(request, Thread.currentThread().getName(), new CompletableFuture<>());
+        synchronized (lock) {
+            // shutdown() stops the executor under this lock, so nothing is queued on a stopped executor
+            if (executor.isShutdown()) {
+                transfer.future().completeExceptionally(new TransferException("Settlement service is shut down"));
+                return transfer.future();
+            }
+            if (pending >= maxPending) {
+                transfer.future().completeExceptionally(new TransferException("Too many pending transfers, try again later"));
+                return transfer.future();
+            }
+            if (window == null) {
+                List<PendingTransfer> opened = new ArrayList<>();
+                executor.schedule(() -> closeWindow(opened), windowMs, TimeUnit.MILLISECONDS);
+                window = opened;
+            }
+            window.add(transfer);
+            pending++;
+            if (window.size() >= maxBatchSize) {
+                // Full: settle now and let the next submit open a fresh window with its own timer
+                List<PendingTransfer> full = window;
+                window = null;
+                executor.execute(() -> settleWindow(full));
+            }
+        }
+        return transfer.future();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        synchronized (lock) {
+            List<PendingTransfer> open = window;
+            if (open != null) {
+                executor.execute(() -> closeWindow(open));
+            }
+            executor.shutdown();
+        }
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // Timer for a window; a no-op when that window was already settled because it filled up
+    private void closeWindow(List<PendingTransfer> opened) {
+        synchronized (lock) {
+            if (window != opened) {
+                return;
+            }
+            window = null;
+        }
+        settleWindow(opened);
+    }
+
+    private void settleWindow(List<PendingTransfer> batch) {
+        transferMetrics.recordBatchSize(batch.size());
+        List<PendingTransfer> accepted = new ArrayList<>(batch.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> settle(batch, accepted));
+            accepted.forEach(transfer -> transfer.future().complete("Transfer successful"));
+        } catch (RuntimeException e) {
+            log.error("Settlement of {} transfers failed", batch.size(), e);
+            TransferException failure = new TransferException("Settlement failed: " + e.getMessage());
+            // Transfers already rejected by the funds check keep their original error
+            batch.forEach(transfer -> transfer.future().completeExceptionally(failure));
+        } finally {
+            synchronized (lock) {
+                pending -= batch.size();
+            }
+        }
+    }
+
+    private void settle(List<PendingTransfer> batch, List<PendingTransfer> accepted) {
+        transferMetrics.timeBatchCompletion(batch.size());
+
+        Set<String> names = new HashSet<>();
+        for (PendingTransfer transfer : batch) {
+            names.add(transfer.request().getFrom());
+            names.add(transfer.request().getTo());
+        }
+
+        Map<String, Account> accounts = new HashMap<>();
+        try (PhaseTimer ignored = transferMetrics.startBatch(SettlementPhase.ACCOUNT_LOOKUP, batch.size())) {
+            accountRepository.findByNameIn(names).forEach(account -> accounts.put(account.getName(), account));
+        }
+
+        Map<String, BigDecimal> provisional = new HashMap<>();
+        accounts.forEach((name, account) -> provisional.put(name, account.getBalance()));
+        List<TransferCommittedEvent> committedEvents = new ArrayList<>(batch.size());
+
+        try (PhaseTimer ignored = transferMetrics.startBatch(SettlementPhase.FUNDS_CHECK, batch.size())) {
+            Instant now = Instant.now();
+            for (PendingTransfer transfer : batch) {
+                TransferDto request = transfer.request();
+                if (!provisional.containsKey(request.getFrom()) || !provisional.containsKey(request.getTo())) {
+                    reject(transfer, "Account not found");
+                    continue;
+                }
+                if (provisional.get(request.getFrom()).compareTo(request.getAmount()) < 0) {
+                    reject(transfer, "Insufficient funds");
+                    continue;
+                }
+
+                BigDecimal fromBalance = provisional.merge(request.getFrom(), request.getAmount().negate(), BigDecimal::add);
+                BigDecimal toBalance = provisional.merge(request.getTo(), request.getAmount(), BigDecimal::add);
+                committedEvents.add(new TransferCommittedEvent(request.getFrom(), request.getTo(), request.getAmount(),
+                        fromBalance, toBalance, now));
+                accepted.add(transfer);
+            }
+        }
+
+        // One UPDATE per account whose net movement is non-zero, flushed here so it is timed as netting
+        try (PhaseTimer ignored = transferMetrics.startBatch(SettlementPhase.NETTING, batch.size())) {
+            List<Account> changed = new ArrayList<>();
+            provisional.forEach((name, balance) -> {
+                Account account = accounts.get(name);
+                if (account.getBalance().compareTo(balance) != 0) {
+                    account.setBalance(balance);
+                    changed.add(account);
+                }
+            });
+            accountRepository.saveAllAndFlush(changed);
+        }
+
+        for (int i = 0; i < accepted.size(); i++) {
+            PendingTransfer transfer = accepted.get(i);
+            TransferDto request = transfer.request();
+            eventPublisher.publishEvent(new TransferAuditEvent(transfer.threadName(), request.getFrom(), request.getTo(), request.getAmount()));
+            eventPublisher.publishEvent(committedEvents.get(i));
+        }
+        log.debug("Settled {} of {} transfers", accepted.size(), batch.size());
+    }
+
+    // Audited once the batch commits, like accepted transfers
+    private void reject(PendingTransfer transfer, String reason) {
+        TransferDto request = transfer.request();
+        eventPublisher.publishEvent(new TransferAuditEvent(transfer.threadName(), request.getFrom(), request.getTo(),
+                request.getAmount(), reason));
+        transfer.future().completeExceptionally(new TransferException(reason));
+    }
+
+    private record PendingTransfer(TransferDto request, String threadName, CompletableFuture<String> future) {
+    }
+}
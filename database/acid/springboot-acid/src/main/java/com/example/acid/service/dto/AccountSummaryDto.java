@@ -0,0 +1,27 @@
+package com.example.acid.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountSummaryDto {
+
+    private String name;
+
+    private LocalDate from, to;
+
+    private BigDecimal debitTotal, creditTotal;
+
+    private long debitCount, creditCount;
+
+    private List<DailySummaryDto> days;
+}
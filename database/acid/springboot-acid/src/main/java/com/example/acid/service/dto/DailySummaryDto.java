@@ -0,0 +1,24 @@
+package com.example.acid.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailySummaryDto {
+
+    private LocalDate date;
+
+    private BigDecimal debitTotal, creditTotal;
+
+    private long debitCount, creditCount;
+
+    private BigDecimal closingBalance;
+}
@@ -0,0 +1,13 @@
+package com.example.acid.service.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Published inside the transfer transaction; BEFORE_COMMIT listeners stage their writes in that transaction
+public record TransferCommittedEvent(String from,
+                                     String to,
+                                     BigDecimal amount,
+                                     BigDecimal fromBalance,
+                                     BigDecimal toBalance,
+                                     Instant occurredAt) {
+}
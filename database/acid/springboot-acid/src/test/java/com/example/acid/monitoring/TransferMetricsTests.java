@@ -0,0 +1,62 @@
+package com.example.acid.monitoring;
+
+import com.example.acid.exception.TransferException;
+import com.example.acid.service.BankService;
+import com.example.acid.service.dto.TransferDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TransferMetricsTests {
+
+	@Autowired
+	private BankService bankService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void committedTransferRecordsEveryPhaseAndCommit() {
+		long lookups = count(TransferPhase.ACCOUNT_LOOKUP);
+		long debits = count(TransferPhase.DEBIT);
+		long credits = count(TransferPhase.CREDIT);
+		long commits = count(TransferPhase.COMMIT);
+		long rollbacks = count(TransferPhase.ROLLBACK);
+
+		bankService.transfer(transfer(1));
+
+		assertThat(count(TransferPhase.ACCOUNT_LOOKUP)).isEqualTo(lookups + 1);
+		assertThat(count(TransferPhase.DEBIT)).isEqualTo(debits + 1);
+		assertThat(count(TransferPhase.CREDIT)).isEqualTo(credits + 1);
+		assertThat(count(TransferPhase.COMMIT)).isEqualTo(commits + 1);
+		assertThat(count(TransferPhase.ROLLBACK)).isEqualTo(rollbacks);
+	}
+
+	@Test
+	void rolledBackTransferRecordsRollbackNotCommit() {
+		long debits = count(TransferPhase.DEBIT);
+		long commits = count(TransferPhase.COMMIT);
+		long rollbacks = count(TransferPhase.ROLLBACK);
+
+		assertThatThrownBy(() -> bankService.transfer(transfer(1_000_000))).isInstanceOf(TransferException.class);
+
+		assertThat(count(TransferPhase.DEBIT)).isEqualTo(debits);
+		assertThat(count(TransferPhase.COMMIT)).isEqualTo(commits);
+		assertThat(count(TransferPhase.ROLLBACK)).isEqualTo(rollbacks + 1);
+	}
+
+	private long count(TransferPhase phase) {
+		return meterRegistry.get(TransferMetrics.TIMER_NAME).tag("phase", phase.getTag()).timer().count();
+	}
+
+	private TransferDto transfer(int amount) {
+		return TransferDto.builder().from("Bob").to("Alice").amount(BigDecimal.valueOf(amount)).build();
+	}
+}
@@ -0,0 +1,20 @@
+package com.example.acid.outbox;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Records everything it is handed so tests can assert on relayed messages; enable with bank.outbox.publisher=in-memory
+public class InMemoryEventBroker implements EventPublisher {
+
+    private final Queue<OutboxMessage> published = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        published.addAll(batch);
+    }
+
+    public List<OutboxMessage> getPublished() {
+        return List.copyOf(published);
+    }
+}
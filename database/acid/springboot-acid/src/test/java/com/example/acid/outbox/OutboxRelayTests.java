@@ -0,0 +1,146 @@
+package com.example.acid.outbox;
+
+import com.example.acid.entity.OutboxEvent;
+import com.example.acid.repository.OutboxEventRepository;
+import com.example.acid.service.BankService;
+import com.example.acid.service.dto.TransferDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:outboxdb",
+		"bank.outbox.linger-ms=3600000",
+		"bank.outbox.publisher=in-memory"})
+@Import(InMemoryEventBroker.class)
+class OutboxRelayTests {
+
+	@Autowired
+	private BankService bankService;
+
+	@Autowired
+	private OutboxRelay outboxRelay;
+
+	@Autowired
+	private InMemoryEventBroker broker;
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void relaysTransferEventsInAccountOrder() throws InterruptedException {
+		outboxRelay.relay();
+		int before = broker.getPublished().size();
+
+		bankService.transfer(TransferDto.builder().from("Bob").to("Alice").amount(BigDecimal.TEN).build());
+
+		List<OutboxMessage> relayed = List.of();
+		for (int i = 0; i < 50 && relayed.size() < 2; i++) {
+			outboxRelay.relay();
+			relayed = broker.getPublished().subList(before, broker.getPublished().size());
+			Thread.sleep(100);
+		}
+
+		assertThat(relayed).extracting(OutboxMessage::type, OutboxMessage::key).containsExactly(
+				tuple(OutboxWriter.ACCOUNT_DEBITED, "Bob"),
+				tuple(OutboxWriter.ACCOUNT_CREDITED, "Alice"));
+		assertThat(relayed.get(0).id()).isLessThan(relayed.get(1).id());
+	}
+
+	@Test
+	void rolledBackTransferLeavesNothingToRelay() {
+		outboxRelay.relay();
+		int before = broker.getPublished().size();
+
+		try {
+			bankService.transfer(TransferDto.builder().from("Bob").to("Alice").amount(BigDecimal.valueOf(1_000_000)).build());
+		} catch (RuntimeException ignored) {
+		}
+		outboxRelay.relay();
+
+		assertThat(broker.getPublished()).hasSize(before);
+	}
+
+	@Test
+	void holdsBackLaterEventsOfAnAccountWhoseEarlierEventIsClaimedElsewhere() throws Exception {
+		List<OutboxEvent> events = outboxEventRepository.saveAll(List.of(
+				pending("Carol"), pending("Carol"), pending("Dave")));
+		Long lockedId = events.get(0).getId();
+
+		// Another relay holds the oldest Carol event
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread otherRelay = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			entityManager.find(OutboxEvent.class, lockedId, LockModeType.PESSIMISTIC_WRITE);
+			locked.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+		otherRelay.start();
+		assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+		outboxRelay.relay();
+		assertThat(publishedIds("Carol", "Dave")).containsExactly(events.get(2).getId());
+
+		release.countDown();
+		otherRelay.join();
+
+		outboxRelay.relay();
+		assertThat(publishedIds("Carol", "Dave"))
+				.containsExactly(events.get(2).getId(), events.get(0).getId(), events.get(1).getId());
+	}
+
+	@Test
+	void purgesPublishedEventsPastRetention() {
+		OutboxEvent old = pending("Erin");
+		old.setPublishedAt(Instant.now().minus(Duration.ofDays(30)));
+		OutboxEvent pending = pending("Erin");
+		outboxEventRepository.saveAll(List.of(old, pending));
+
+		outboxRelay.purgePublished();
+
+		assertThat(outboxEventRepository.findById(old.getId())).isEmpty();
+		assertThat(outboxEventRepository.findById(pending.getId())).isPresent();
+	}
+
+	private OutboxEvent pending(String key) {
+		return OutboxEvent.builder()
+				.type(OutboxWriter.ACCOUNT_DEBITED)
+				.aggregateKey(key)
+				.payload("{}")
+				.createdAt(Instant.now())
+				.build();
+	}
+
+	private List<Long> publishedIds(String... keys) {
+		List<String> wanted = List.of(keys);
+		return broker.getPublished().stream()
+				.filter(message -> wanted.contains(message.key()))
+				.map(OutboxMessage::id)
+				.toList();
+	}
+}
@@ -0,0 +1,116 @@
+package com.example.acid.service;
+
+import com.example.acid.entity.AccountDailySummary;
+import com.example.acid.repository.AccountDailySummaryRepository;
+import com.example.acid.service.dto.AccountSummaryDto;
+import com.example.acid.service.dto.TransferDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:summarydb",
+		"bank.rollup.flush-interval-ms=3600000"})
+@AutoConfigureMockMvc
+class AccountSummaryServiceTests {
+
+	@Autowired
+	private AccountSummaryService accountSummaryService;
+
+	@Autowired
+	private BankService bankService;
+
+	@Autowired
+	private AccountDailySummaryRepository summaryRepository;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void foldsTransfersIntoDailyTotalsAndClosingBalance() {
+		LocalDate today = LocalDate.now();
+		accountSummaryService.flush();
+		AccountSummaryDto before = accountSummaryService.getSummary("Alice", today, today);
+
+		bankService.transfer(transfer("Alice", "Bob", 40));
+		bankService.transfer(transfer("Bob", "Alice", 15));
+		accountSummaryService.flush();
+		AccountSummaryDto afterFirstFlush = accountSummaryService.getSummary("Alice", today, today);
+
+		// A second flush merges into the existing day row
+		bankService.transfer(transfer("Alice", "Bob", 5));
+		accountSummaryService.flush();
+		AccountSummaryDto after = accountSummaryService.getSummary("Alice", today, today);
+
+		assertThat(afterFirstFlush.getDays()).hasSize(1);
+		assertThat(after.getDays()).hasSize(1);
+		assertThat(after.getDebitTotal()).isEqualByComparingTo(before.getDebitTotal().add(BigDecimal.valueOf(45)));
+		assertThat(after.getCreditTotal()).isEqualByComparingTo(before.getCreditTotal().add(BigDecimal.valueOf(15)));
+		assertThat(after.getDebitCount()).isEqualTo(before.getDebitCount() + 2);
+		assertThat(after.getCreditCount()).isEqualTo(before.getCreditCount() + 1);
+		assertThat(after.getDays().get(0).getClosingBalance())
+				.isEqualByComparingTo(afterFirstFlush.getDays().get(0).getClosingBalance().subtract(BigDecimal.valueOf(5)));
+	}
+
+	@Test
+	void rebuildRecomputesTheSameSummaries() {
+		LocalDate today = LocalDate.now();
+		bankService.transfer(transfer("Bob", "Alice", 10));
+		accountSummaryService.flush();
+		AccountSummaryDto before = accountSummaryService.getSummary("Bob", today, today);
+
+		accountSummaryService.rebuild(today, today);
+
+		assertThat(accountSummaryService.getSummary("Bob", today, today)).isEqualTo(before);
+	}
+
+	@Test
+	void rangeOutsideRolledUpDaysIsEmpty() {
+		LocalDate yesterday = LocalDate.now().minusDays(1);
+
+		AccountSummaryDto summary = accountSummaryService.getSummary("Alice", yesterday.minusDays(7), yesterday);
+
+		assertThat(summary.getDays()).isEmpty();
+		assertThat(summary.getDebitTotal()).isEqualByComparingTo(BigDecimal.ZERO);
+	}
+
+	@Test
+	void rejectsFromAfterTo() throws Exception {
+		mockMvc.perform(get("/api/v1/accounts/Alice/summary").param("from", "2025-05-31").param("to", "2025-05-01"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void rebuildBeforeRetentionWindowKeepsExistingSummaries() throws Exception {
+		LocalDate purged = LocalDate.now().minusDays(200);
+		summaryRepository.save(AccountDailySummary.builder()
+				.accountName("Alice")
+				.summaryDate(purged)
+				.debitTotal(BigDecimal.TEN)
+				.creditTotal(BigDecimal.ZERO)
+				.debitCount(1)
+				.closingBalance(BigDecimal.valueOf(90))
+				.lastMovementId(0L)
+				.build());
+
+		mockMvc.perform(post("/api/v1/accounts/summary/rebuild")
+						.param("from", purged.toString()).param("to", purged.toString()))
+				.andExpect(status().isBadRequest());
+
+		assertThat(summaryRepository.findByAccountNameAndSummaryDate("Alice", purged)).isPresent();
+	}
+
+	private TransferDto transfer(String from, String to, int amount) {
+		return TransferDto.builder().from(from).to(to).amount(BigDecimal.valueOf(amount)).build();
+	}
+}
@@ -0,0 +1,182 @@
+package com.example.acid.service;
+
+import com.example.acid.audit.TransferAuditEvent;
+import com.example.acid.entity.Account;
+import com.example.acid.exception.TransferException;
+import com.example.acid.monitoring.TransferMetrics;
+import com.example.acid.repository.AccountRepository;
+import com.example.acid.service.dto.TransferDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// A long window keeps every submit of a test in the same window; only max-batch-size closes one early
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:nettingdb",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"bank.settlement.mode=netting",
+		"bank.settlement.window-ms=1000",
+		"bank.settlement.max-batch-size=50"})
+class NettingSettlementServiceTests {
+
+	@Autowired
+	private NettingSettlementService nettingSettlementService;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private TransferMetrics transferMetrics;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void netsBackAndForthTransfersIntoOneUpdatePerAccountInOneTransaction() throws Exception {
+		BigDecimal alice = balanceOf("Alice");
+		BigDecimal bob = balanceOf("Bob");
+		long updates = accountUpdates();
+		long batches = batchSizes().count();
+		long commits = batchCommits().count();
+
+		List<CompletableFuture<String>> futures = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			futures.add(nettingSettlementService.submit(transfer("Alice", "Bob", 10)));
+			futures.add(nettingSettlementService.submit(transfer("Bob", "Alice", 5)));
+		}
+		for (CompletableFuture<String> future : futures) {
+			assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("Transfer successful");
+		}
+
+		assertThat(accountUpdates() - updates).isEqualTo(2);
+		assertThat(batchSizes().count() - batches).isEqualTo(1);
+		assertThat(batchCommits().count() - commits).isEqualTo(1);
+		assertThat(balanceOf("Alice")).isEqualByComparingTo(alice.subtract(BigDecimal.valueOf(100)));
+		assertThat(balanceOf("Bob")).isEqualByComparingTo(bob.add(BigDecimal.valueOf(100)));
+	}
+
+	@Test
+	void rejectsTransferExceedingProvisionalBalanceWithinOneWindow() throws Exception {
+		BigDecimal alice = balanceOf("Alice");
+		long batches = batchSizes().count();
+
+		CompletableFuture<String> first = nettingSettlementService.submit(transfer("Alice", "Bob", alice.intValue()));
+		CompletableFuture<String> second = nettingSettlementService.submit(transfer("Alice", "Bob", 1));
+
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("Transfer successful");
+		assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(TransferException.class);
+		assertThat(batchSizes().count() - batches).isEqualTo(1);
+
+		nettingSettlementService.submit(transfer("Bob", "Alice", alice.intValue())).get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void capsEachSettlementAtMaxBatchSize() throws Exception {
+		long batches = batchSizes().count();
+
+		List<CompletableFuture<String>> futures = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			futures.add(nettingSettlementService.submit(transfer(i % 2 == 0 ? "Alice" : "Bob", i % 2 == 0 ? "Bob" : "Alice", 1)));
+		}
+		for (CompletableFuture<String> future : futures) {
+			future.get(5, TimeUnit.SECONDS);
+		}
+
+		// Two full batches settle at once, the remaining 20 when their window closes
+		assertThat(batchSizes().count() - batches).isEqualTo(3);
+		assertThat(batchSizes().max()).isLessThanOrEqualTo(50);
+	}
+
+	@Test
+	void auditsRejectedTransfersWithTheirReason() throws Exception {
+		ConcurrentLinkedQueue<Object> events = new ConcurrentLinkedQueue<>();
+		NettingSettlementService service = standalone(events::add, 10);
+		try {
+			CompletableFuture<String> unknown = service.submit(transfer("Alice", "Nobody", 1));
+			CompletableFuture<String> overdraft = service.submit(transfer("Alice", "Bob", 1_000_000));
+
+			assertThatThrownBy(() -> unknown.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("Account not found");
+			assertThatThrownBy(() -> overdraft.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("Insufficient funds");
+		} finally {
+			service.shutdown();
+		}
+
+		assertThat(events).filteredOn(TransferAuditEvent.class::isInstance)
+				.extracting(event -> ((TransferAuditEvent) event).rejectionReason())
+				.containsExactly("Account not found", "Insufficient funds");
+	}
+
+	@Test
+	void failsSubmitsBeyondMaxPendingAndAfterShutdown() throws Exception {
+		NettingSettlementService service = standalone(event -> {
+		}, 2);
+		CompletableFuture<String> first = service.submit(transfer("Alice", "Bob", 1));
+		CompletableFuture<String> second = service.submit(transfer("Bob", "Alice", 1));
+		CompletableFuture<String> overflow = service.submit(transfer("Alice", "Bob", 1));
+
+		assertThat(overflow).isCompletedExceptionally();
+
+		// Shutdown still settles the open window
+		service.shutdown();
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("Transfer successful");
+		assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("Transfer successful");
+
+		assertThatThrownBy(() -> service.submit(transfer("Alice", "Bob", 1)).get(5, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(TransferException.class);
+	}
+
+	private NettingSettlementService standalone(ApplicationEventPublisher eventPublisher, int maxPending) {
+		return new NettingSettlementService(accountRepository, transferMetrics, eventPublisher, transactionManager,
+				1000, 50, maxPending);
+	}
+
+	private BigDecimal balanceOf(String name) {
+		return accountRepository.findByName(name).orElseThrow().getBalance();
+	}
+
+	private long accountUpdates() {
+		EntityStatistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+				.getStatistics().getEntityStatistics(Account.class.getName());
+		return statistics.getUpdateCount();
+	}
+
+	private DistributionSummary batchSizes() {
+		return meterRegistry.get(TransferMetrics.BATCH_SIZE_NAME).summary();
+	}
+
+	private Timer batchCommits() {
+		return meterRegistry.get(TransferMetrics.BATCH_TIMER_NAME).tag("phase", "commit").timer();
+	}
+
+	private TransferDto transfer(String from, String to, int amount) {
+		return TransferDto.builder().from(from).to(to).amount(BigDecimal.valueOf(amount)).build();
+	}
+}